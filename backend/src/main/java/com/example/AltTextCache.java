@@ -0,0 +1,202 @@
+package com.example;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persistent cache of generated alt texts, keyed by the digest of the raw image stream
+ * bytes plus the book title.
+ * <p>
+ * The store is an append-only JSON-lines file: every new entry is appended as one
+ * {@link Entry}, and the file is replayed on startup. Entries older than the TTL are
+ * dropped, the in-memory index is an LRU capped at a maximum entry count, and the file
+ * is compacted when it holds too many stale lines. Because entries carry the image
+ * digest and title separately, the file can be pre-seeded by hand or by another tool.
+ */
+public class AltTextCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 100_000;
+    private static final long DEFAULT_TTL_HOURS = 24 * 30;
+
+    private final Gson gson = new Gson();
+    private final Path storeFile;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> entries;
+
+    private BufferedWriter writer;
+    private int storedLines;
+
+    public AltTextCache(Path storeFile, int maxEntries, Duration ttl) {
+        this.storeFile = storeFile;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AltTextCache.this.maxEntries;
+            }
+        };
+
+        if (storeFile != null) {
+            load();
+        }
+    }
+
+    /**
+     * Creates a cache configured from {@code ALT_TEXT_CACHE_FILE},
+     * {@code ALT_TEXT_CACHE_MAX_ENTRIES} and {@code ALT_TEXT_CACHE_TTL_HOURS}.
+     * Without a file the cache only lives in memory.
+     */
+    public static AltTextCache fromEnvironment() {
+        String file = Env.getString("ALT_TEXT_CACHE_FILE", null);
+        return new AltTextCache(
+                file != null ? Path.of(file) : null,
+                Env.getInt("ALT_TEXT_CACHE_MAX_ENTRIES", DEFAULT_MAX_ENTRIES),
+                Duration.ofHours(Env.getLong("ALT_TEXT_CACHE_TTL_HOURS", DEFAULT_TTL_HOURS))
+        );
+    }
+
+    public synchronized Optional<String> get(String imageDigest, String title) {
+        String key = Digests.combine(imageDigest, title);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (isExpired(entry, System.currentTimeMillis())) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.altText());
+    }
+
+    public synchronized void put(String imageDigest, String title, String altText) {
+        Entry entry = new Entry(imageDigest, title, altText, System.currentTimeMillis());
+        entries.put(Digests.combine(imageDigest, title), entry);
+
+        if (storeFile != null) {
+            append(entry);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // ========== Persistence ==========
+
+    private void load() {
+        long now = System.currentTimeMillis();
+        int lines = 0;
+
+        if (Files.exists(storeFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(storeFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    lines++;
+                    Entry entry = parse(line);
+                    if (entry != null && !isExpired(entry, now)) {
+                        entries.put(Digests.combine(entry.imageDigest(), entry.title()), entry);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Warning: Could not read alt text cache " + storeFile + ": " + e.getMessage());
+            }
+        }
+
+        storedLines = lines;
+        if (storedLines > entries.size()) {
+            compact();
+        }
+    }
+
+    private Entry parse(String line) {
+        try {
+            Entry entry = gson.fromJson(line, Entry.class);
+            if (entry == null || entry.imageDigest() == null || entry.altText() == null) {
+                return null;
+            }
+            // Hand-written seed entries may omit the timestamp
+            return entry.createdAt() > 0 ? entry
+                    : new Entry(entry.imageDigest(), entry.title(), entry.altText(), System.currentTimeMillis());
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    private void append(Entry entry) {
+        try {
+            if (writer == null) {
+                if (storeFile.getParent() != null) {
+                    Files.createDirectories(storeFile.getParent());
+                }
+                writer = Files.newBufferedWriter(storeFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(gson.toJson(entry));
+            writer.newLine();
+            writer.flush();
+            storedLines++;
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to persist alt text cache entry: " + e.getMessage());
+        }
+
+        if (storedLines > 2 * Math.max(entries.size(), 1024)) {
+            compact();
+        }
+    }
+
+    /**
+     * Rewrites the store file with only the live entries.
+     */
+    private void compact() {
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+            if (storeFile.getParent() != null) {
+                Files.createDirectories(storeFile.getParent());
+            }
+            Path temp = storeFile.resolveSibling(storeFile.getFileName() + ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Entry entry : entries.values()) {
+                    out.write(gson.toJson(entry));
+                    out.newLine();
+                }
+            }
+            Files.move(temp, storeFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            storedLines = entries.size();
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to compact alt text cache: " + e.getMessage());
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return ttlMillis > 0 && now - entry.createdAt() > ttlMillis;
+    }
+
+    // ========== DTOs ==========
+
+    /**
+     * One line of the store file. {@code imageDigest} is the hex SHA-256 of the raw
+     * (still encoded) image stream bytes.
+     */
+    record Entry(String imageDigest, String title, String altText, long createdAt) {}
+}
@@ -5,21 +5,34 @@ import io.javalin.http.ContentType;
 import io.javalin.http.Context;
 import io.javalin.http.UploadedFile;
 
-import java.io.ByteArrayOutputStream;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class App {
 
     private static final int DEFAULT_PORT = 8080;
     private final PdfUA pdfUA;
+    private final CoverCache coverCache;
+    private final ExecutorService pdfExecutor;
     private final Javalin app;
 
     public App() {
-        this.pdfUA = new PdfUA();
-        this.app = createApp();
+        this(new PdfUA());
     }
 
     public App(String openAiApiKey) {
-        this.pdfUA = new PdfUA(openAiApiKey);
+        this(new PdfUA(openAiApiKey));
+    }
+
+    private App(PdfUA pdfUA) {
+        this.pdfUA = pdfUA;
+        this.coverCache = CoverCache.fromEnvironment();
+        // CPU-bound PDF work; OpenAI calls wait on the HTTP client instead of these threads
+        this.pdfExecutor = Executors.newFixedThreadPool(
+                Env.getInt("PDF_WORKER_THREADS", Runtime.getRuntime().availableProcessors()));
         this.app = createApp();
     }
 
@@ -36,6 +49,7 @@ public class App {
         .get("/health", this::handleHealth)
         .post("/cover", this::handleCreateCover)
         .post("/metadata", this::handleExtractMetadata)
+        .get("/cache/stats", this::handleCacheStats)
         .exception(PdfUA.ImageExtractionException.class, this::handleImageExtractionError)
         .exception(Exception.class, this::handleGenericError);
     }
@@ -63,19 +77,29 @@ public class App {
         String title = ctx.formParam("title");
         String language = ctx.formParam("language");
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        
-        if (title != null || language != null) {
-            pdfUA.createCoverPdf(uploadedFile.content(), outputStream, title, language);
-        } else {
-            pdfUA.createCoverPdf(uploadedFile.content(), outputStream);
-        }
+        byte[] pdfBytes = uploadedFile.content().readAllBytes();
+        String cacheKey = CoverCache.key(Digests.sha256Hex(pdfBytes), title, language);
 
         String outputFilename = generateOutputFilename(uploadedFile.filename());
-        
+
+        Optional<byte[]> cached = coverCache.get(cacheKey);
+        if (cached.isPresent()) {
+            sendCover(ctx, outputFilename, cached.get(), true);
+            return;
+        }
+
+        ctx.future(() -> pdfUA.createCoverPdfAsync(pdfBytes, title, language, pdfExecutor)
+                .thenAccept(coverBytes -> {
+                    coverCache.put(cacheKey, coverBytes);
+                    sendCover(ctx, outputFilename, coverBytes, false);
+                }));
+    }
+
+    private void sendCover(Context ctx, String outputFilename, byte[] coverBytes, boolean cacheHit) {
         ctx.contentType(ContentType.APPLICATION_PDF)
            .header("Content-Disposition", "attachment; filename=\"" + outputFilename + "\"")
-           .result(outputStream.toByteArray());
+           .header("X-Cache", cacheHit ? "HIT" : "MISS")
+           .result(coverBytes);
     }
 
     private void handleExtractMetadata(Context ctx) throws Exception {
@@ -87,14 +111,24 @@ public class App {
         }
 
         byte[] pdfBytes = uploadedFile.content().readAllBytes();
-        PdfUA.PdfMetadata metadata = pdfUA.extractMetadata(pdfBytes);
-        
-        ctx.json(new MetadataResponse(
-                "ok",
-                metadata.title(),
-                metadata.language(),
-                metadata.pageCount()
-        ));
+
+        ctx.future(() -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return pdfUA.extractMetadata(pdfBytes);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, pdfExecutor)
+                .thenAccept(metadata -> ctx.json(new MetadataResponse(
+                        "ok",
+                        metadata.title(),
+                        metadata.language(),
+                        metadata.pageCount()
+                ))));
+    }
+
+    private void handleCacheStats(Context ctx) {
+        ctx.json(coverCache.stats());
     }
 
     // ========== Error Handlers ==========
@@ -127,6 +161,7 @@ public class App {
 
     public void stop() {
         app.stop();
+        pdfExecutor.shutdown();
     }
 
     // ========== Main ==========
@@ -144,6 +179,7 @@ public class App {
         System.out.println("║    GET  /health    - Health check                 ║");
         System.out.println("║    POST /cover     - Create cover PDF             ║");
         System.out.println("║    POST /metadata  - Extract PDF metadata         ║");
+        System.out.println("║    GET  /cache/stats - Cover cache statistics     ║");
         System.out.println("╠═══════════════════════════════════════════════════╣");
         System.out.printf("║  Server running on: http://localhost:%-14d║%n", port);
         System.out.println("╚═══════════════════════════════════════════════════╝");
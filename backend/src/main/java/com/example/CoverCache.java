@@ -0,0 +1,226 @@
+package com.example;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache for generated cover PDFs.
+ * <p>
+ * Entries are keyed by {@link #key(String, String, String)} and kept in a byte-bounded
+ * in-memory LRU tier. When a directory is configured, entries are also written to disk
+ * so they survive restarts; disk hits are promoted back into memory.
+ */
+public class CoverCache {
+
+    private static final long DEFAULT_MEMORY_BYTES = 128L * 1024 * 1024;
+    private static final String FILE_SUFFIX = ".pdf";
+
+    private final boolean enabled;
+    private final long maxMemoryBytes;
+    private final Path diskDirectory;
+    private final long maxDiskBytes;
+
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+    private final AtomicLong diskBytes = new AtomicLong();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CoverCache(boolean enabled, long maxMemoryBytes, Path diskDirectory, long maxDiskBytes) {
+        this.enabled = enabled;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.diskDirectory = diskDirectory;
+        this.maxDiskBytes = maxDiskBytes;
+
+        if (enabled && diskDirectory != null) {
+            initDiskTier();
+        }
+    }
+
+    /**
+     * Creates a cache configured from {@code COVER_CACHE_ENABLED}, {@code COVER_CACHE_MAX_BYTES},
+     * {@code COVER_CACHE_DIR} and {@code COVER_CACHE_DIR_MAX_BYTES}.
+     */
+    public static CoverCache fromEnvironment() {
+        String dir = Env.getString("COVER_CACHE_DIR", null);
+        return new CoverCache(
+                Env.getBoolean("COVER_CACHE_ENABLED", true),
+                Env.getLong("COVER_CACHE_MAX_BYTES", DEFAULT_MEMORY_BYTES),
+                dir != null ? Path.of(dir) : null,
+                Env.getLong("COVER_CACHE_DIR_MAX_BYTES", 0)
+        );
+    }
+
+    /**
+     * Builds the cache key for a cover request from the input digest and the requested
+     * title and language overrides (null when the document's own values are used).
+     */
+    public static String key(String pdfDigest, String titleOverride, String languageOverride) {
+        return Digests.combine(pdfDigest, titleOverride, languageOverride);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<byte[]> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        synchronized (memory) {
+            byte[] cached = memory.get(key);
+            if (cached != null) {
+                memoryHits.incrementAndGet();
+                return Optional.of(cached);
+            }
+        }
+
+        if (diskDirectory != null) {
+            Path file = diskFile(key);
+            try {
+                byte[] cached = Files.readAllBytes(file);
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                diskHits.incrementAndGet();
+                putInMemory(key, cached);
+                return Optional.of(cached);
+            } catch (IOException e) {
+                // Not on disk (or unreadable) - treat as a miss
+            }
+        }
+
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    public void put(String key, byte[] value) {
+        if (!enabled) {
+            return;
+        }
+        putInMemory(key, value);
+        if (diskDirectory != null) {
+            putOnDisk(key, value);
+        }
+    }
+
+    public Stats stats() {
+        synchronized (memory) {
+            return new Stats(enabled, memoryHits.get(), diskHits.get(), misses.get(), evictions.get(),
+                    memory.size(), memoryBytes, maxMemoryBytes, diskDirectory != null ? diskBytes.get() : 0);
+        }
+    }
+
+    // ========== Memory tier ==========
+
+    private void putInMemory(String key, byte[] value) {
+        if (value.length > maxMemoryBytes) {
+            return;
+        }
+        synchronized (memory) {
+            byte[] previous = memory.put(key, value);
+            if (previous != null) {
+                memoryBytes -= previous.length;
+            }
+            memoryBytes += value.length;
+
+            Iterator<Map.Entry<String, byte[]>> eldest = memory.entrySet().iterator();
+            while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+                Map.Entry<String, byte[]> entry = eldest.next();
+                memoryBytes -= entry.getValue().length;
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    // ========== Disk tier ==========
+
+    private void initDiskTier() {
+        try {
+            Files.createDirectories(diskDirectory);
+            long total = 0;
+            for (Path file : listDiskFiles()) {
+                total += Files.size(file);
+            }
+            diskBytes.set(total);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not initialize cover cache directory " + diskDirectory + ": " + e.getMessage());
+        }
+    }
+
+    private void putOnDisk(String key, byte[] value) {
+        Path file = diskFile(key);
+        try {
+            long previousSize = Files.exists(file) ? Files.size(file) : 0;
+            Path temp = Files.createTempFile(diskDirectory, key, ".tmp");
+            Files.write(temp, value);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            diskBytes.addAndGet(value.length - previousSize);
+            trimDiskTier();
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to write cover cache entry: " + e.getMessage());
+        }
+    }
+
+    private void trimDiskTier() throws IOException {
+        if (maxDiskBytes <= 0 || diskBytes.get() <= maxDiskBytes) {
+            return;
+        }
+        synchronized (diskBytes) {
+            List<Path> files = listDiskFiles();
+            files.sort(Comparator.comparing(CoverCache::lastModified));
+            for (Path file : files) {
+                if (diskBytes.get() <= maxDiskBytes) {
+                    break;
+                }
+                long size = Files.size(file);
+                if (Files.deleteIfExists(file)) {
+                    diskBytes.addAndGet(-size);
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private List<Path> listDiskFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(diskDirectory, "*" + FILE_SUFFIX)) {
+            for (Path entry : stream) {
+                files.add(entry);
+            }
+        }
+        return files;
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private Path diskFile(String key) {
+        return diskDirectory.resolve(key + FILE_SUFFIX);
+    }
+
+    // ========== DTOs ==========
+
+    public record Stats(boolean enabled, long memoryHits, long diskHits, long misses, long evictions,
+                        int memoryEntries, long memoryBytes, long maxMemoryBytes, long diskBytes) {}
+}
@@ -0,0 +1,51 @@
+package com.example;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 helpers used to build content-addressed cache keys.
+ */
+final class Digests {
+
+    private Digests() {
+    }
+
+    static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static String sha256Hex(byte[] data) {
+        return HexFormat.of().formatHex(newSha256().digest(data));
+    }
+
+    /**
+     * Combines a content digest with optional string parameters. A null parameter
+     * hashes differently from an empty one so "not given" and "given as blank" never collide.
+     */
+    static String combine(String contentDigest, String... parameters) {
+        MessageDigest digest = newSha256();
+        digest.update(contentDigest.getBytes(StandardCharsets.US_ASCII));
+        for (String parameter : parameters) {
+            if (parameter == null) {
+                digest.update((byte) 0);
+            } else {
+                digest.update((byte) 1);
+                byte[] bytes = parameter.getBytes(StandardCharsets.UTF_8);
+                digest.update(intToBytes(bytes.length));
+                digest.update(bytes);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static byte[] intToBytes(int value) {
+        return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+}
@@ -0,0 +1,49 @@
+package com.example;
+
+/**
+ * Reads service configuration from environment variables with typed defaults.
+ */
+final class Env {
+
+    private Env() {
+    }
+
+    static String getString(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value.trim() : defaultValue;
+    }
+
+    static int getInt(String name, int defaultValue) {
+        String value = getString(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid " + name + " environment variable, using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    static long getLong(String name, long defaultValue) {
+        String value = getString(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid " + name + " environment variable, using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    static boolean getBoolean(String name, boolean defaultValue) {
+        String value = getString(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        return value.equalsIgnoreCase("true") || value.equals("1") || value.equalsIgnoreCase("yes");
+    }
+}
@@ -0,0 +1,275 @@
+package com.example;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking client for the OpenAI chat completions API.
+ * <p>
+ * Every call runs on {@link HttpClient#sendAsync} under an overall deadline. At most
+ * {@code maxInFlight} calls are on the wire at once; further calls wait for a permit
+ * without holding a thread. 429 and 5xx responses are retried with exponential backoff
+ * and full jitter, and a {@link CircuitBreaker} rejects calls immediately while the API
+ * keeps failing.
+ */
+public class OpenAiClient {
+
+    static final String DEFAULT_API_URL = "https://api.openai.com/v1/chat/completions";
+    private static final String DEFAULT_MODEL = "gpt-4o";
+    private static final long RETRY_BASE_DELAY_MILLIS = 250;
+    private static final long RETRY_MAX_DELAY_MILLIS = 4_000;
+
+    private final HttpClient httpClient;
+    private final Gson gson;
+    private final String apiKey;
+    private final URI apiUrl;
+    private final String model;
+    private final Duration timeout;
+    private final int maxRetries;
+    private final int maxInFlight;
+    private final CircuitBreaker circuitBreaker;
+
+    private final Queue<CompletableFuture<Void>> permitWaiters = new ArrayDeque<>();
+    private int inFlight;
+
+    public OpenAiClient(String apiKey, URI apiUrl, String model, Duration timeout,
+                        int maxInFlight, int maxRetries, CircuitBreaker circuitBreaker) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+        this.gson = new Gson();
+        this.apiKey = apiKey;
+        this.apiUrl = apiUrl;
+        this.model = model;
+        this.timeout = timeout;
+        this.maxInFlight = maxInFlight;
+        this.maxRetries = maxRetries;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Creates a client configured from {@code OPENAI_API_URL}, {@code OPENAI_MODEL},
+     * {@code OPENAI_TIMEOUT_MS}, {@code OPENAI_MAX_IN_FLIGHT}, {@code OPENAI_MAX_RETRIES},
+     * {@code OPENAI_BREAKER_FAILURES} and {@code OPENAI_BREAKER_OPEN_MS}.
+     */
+    public static OpenAiClient fromEnvironment(String apiKey) {
+        return new OpenAiClient(
+                apiKey,
+                URI.create(Env.getString("OPENAI_API_URL", DEFAULT_API_URL)),
+                Env.getString("OPENAI_MODEL", DEFAULT_MODEL),
+                Duration.ofMillis(Env.getLong("OPENAI_TIMEOUT_MS", 20_000)),
+                Env.getInt("OPENAI_MAX_IN_FLIGHT", 16),
+                Env.getInt("OPENAI_MAX_RETRIES", 2),
+                new CircuitBreaker(
+                        Env.getInt("OPENAI_BREAKER_FAILURES", 5),
+                        Env.getLong("OPENAI_BREAKER_OPEN_MS", 30_000))
+        );
+    }
+
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    /**
+     * Asks the model to describe an image. The returned future completes exceptionally
+     * when the circuit is open, the deadline passes or the API keeps failing.
+     */
+    public CompletableFuture<String> describeImage(String base64Image, String mimeType, String prompt) {
+        if (!circuitBreaker.allowRequest()) {
+            return CompletableFuture.failedFuture(new IOException("OpenAI circuit breaker is open"));
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        String requestBody = gson.toJson(buildRequest(base64Image, mimeType, prompt));
+        CompletableFuture<String> result = new CompletableFuture<>();
+
+        acquirePermit().thenAccept(permit -> {
+            if (result.isDone()) {
+                releasePermit();
+                return;
+            }
+            sendWithRetry(requestBody, deadline, 0).thenApply(this::parseResponse).whenComplete((altText, error) -> {
+                releasePermit();
+                if (error != null) {
+                    result.completeExceptionally(unwrap(error));
+                } else {
+                    result.complete(altText);
+                }
+            });
+        });
+
+        return result
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((altText, error) -> {
+                    if (error == null) {
+                        circuitBreaker.recordSuccess();
+                    } else {
+                        circuitBreaker.recordFailure();
+                    }
+                });
+    }
+
+    // ========== Request execution ==========
+
+    /**
+     * Sends the request, retrying retryable failures while the deadline allows, and
+     * completes with the raw response body of the first 200 response.
+     */
+    private CompletableFuture<String> sendWithRetry(String requestBody, long deadline, int attempt) {
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0) {
+            return CompletableFuture.failedFuture(new TimeoutException("OpenAI request deadline exceeded"));
+        }
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(apiUrl)
+                .timeout(Duration.ofNanos(remainingNanos))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + apiKey)
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    if (error == null && response.statusCode() == 200) {
+                        return CompletableFuture.completedFuture(response.body());
+                    }
+                    boolean retryable = error != null ? !(unwrap(error) instanceof HttpTimeoutException)
+                            : isRetryableStatus(response.statusCode());
+                    Throwable failure = error != null ? unwrap(error)
+                            : new IOException("OpenAI API returned status " + response.statusCode() + ": " + response.body());
+
+                    if (!retryable || attempt >= maxRetries) {
+                        return CompletableFuture.<String>failedFuture(failure);
+                    }
+
+                    long delayMillis = retryDelayMillis(response, attempt);
+                    if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis) >= deadline) {
+                        return CompletableFuture.<String>failedFuture(failure);
+                    }
+                    return CompletableFuture.supplyAsync(() -> null,
+                                    CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> sendWithRetry(requestBody, deadline, attempt + 1));
+                })
+                .thenCompose(future -> future);
+    }
+
+    private static boolean isRetryableStatus(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    /**
+     * Honours a numeric {@code Retry-After} header, otherwise uses exponential backoff
+     * with full jitter.
+     */
+    private static long retryDelayMillis(HttpResponse<String> response, int attempt) {
+        if (response != null) {
+            String retryAfter = response.headers().firstValue("Retry-After").orElse(null);
+            if (retryAfter != null) {
+                try {
+                    return Math.min(Long.parseLong(retryAfter.trim()) * 1000, RETRY_MAX_DELAY_MILLIS);
+                } catch (NumberFormatException e) {
+                    // HTTP-date form - fall through to backoff
+                }
+            }
+        }
+        long ceiling = Math.min(RETRY_MAX_DELAY_MILLIS, RETRY_BASE_DELAY_MILLIS << attempt);
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    // ========== Concurrency limit ==========
+
+    private synchronized CompletableFuture<Void> acquirePermit() {
+        if (inFlight < maxInFlight) {
+            inFlight++;
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        permitWaiters.add(waiter);
+        return waiter;
+    }
+
+    private void releasePermit() {
+        CompletableFuture<Void> next;
+        synchronized (this) {
+            next = permitWaiters.poll();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+        }
+        // The permit passes straight to the next waiter
+        next.completeAsync(() -> null);
+    }
+
+    // ========== JSON ==========
+
+    private JsonObject buildRequest(String base64Image, String mimeType, String prompt) {
+        JsonObject requestBody = new JsonObject();
+        requestBody.addProperty("model", model);
+        requestBody.addProperty("max_tokens", 300);
+
+        JsonArray messages = new JsonArray();
+        JsonObject userMessage = new JsonObject();
+        userMessage.addProperty("role", "user");
+
+        JsonArray content = new JsonArray();
+
+        JsonObject textPart = new JsonObject();
+        textPart.addProperty("type", "text");
+        textPart.addProperty("text", prompt);
+        content.add(textPart);
+
+        JsonObject imagePart = new JsonObject();
+        imagePart.addProperty("type", "image_url");
+        JsonObject imageUrl = new JsonObject();
+        imageUrl.addProperty("url", "data:" + mimeType + ";base64," + base64Image);
+        imageUrl.addProperty("detail", "low");
+        imagePart.add("image_url", imageUrl);
+        content.add(imagePart);
+
+        userMessage.add("content", content);
+        messages.add(userMessage);
+        requestBody.add("messages", messages);
+
+        return requestBody;
+    }
+
+    private String parseResponse(String responseBody) {
+        JsonObject response = gson.fromJson(responseBody, JsonObject.class);
+        JsonArray choices = response.getAsJsonArray("choices");
+
+        if (choices != null && !choices.isEmpty()) {
+            JsonObject firstChoice = choices.get(0).getAsJsonObject();
+            JsonObject message = firstChoice.getAsJsonObject("message");
+            if (message != null && message.has("content")) {
+                return message.get("content").getAsString().trim();
+            }
+        }
+        throw new CompletionException(new IOException("OpenAI response contained no alt text"));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
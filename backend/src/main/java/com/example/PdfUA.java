@@ -23,10 +23,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -34,33 +30,26 @@ import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
-
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 public class PdfUA {
 
     private static final String DEFAULT_LANGUAGE = "en-US";
     private static final String DEFAULT_TITLE = "Book Cover";
     private static final String DEFAULT_ALT_TEXT = "Book cover image";
-    private static final String OPENAI_API_URL = "https://api.openai.com/v1/chat/completions";
-    private static final String OPENAI_MODEL = "gpt-4o";
 
-    private final HttpClient httpClient;
-    private final Gson gson;
-    private final String openAiApiKey;
+    private final OpenAiClient openAiClient;
+    private final AltTextCache altTextCache;
 
     public PdfUA() {
-        this.httpClient = HttpClient.newHttpClient();
-        this.gson = new Gson();
-        this.openAiApiKey = System.getenv("OPENAI_API_KEY");
+        this(System.getenv("OPENAI_API_KEY"));
     }
 
     public PdfUA(String openAiApiKey) {
-        this.httpClient = HttpClient.newHttpClient();
-        this.gson = new Gson();
-        this.openAiApiKey = openAiApiKey;
+        this.openAiClient = OpenAiClient.fromEnvironment(openAiApiKey);
+        this.altTextCache = AltTextCache.fromEnvironment();
     }
 
     // ========== Stream-based methods for HTTP handling ==========
@@ -89,10 +78,42 @@ public class PdfUA {
      * Creates a cover PDF from bytes and returns the result as bytes.
      */
     public byte[] createCoverPdf(byte[] pdfBytes, String titleOverride, String languageOverride) throws IOException {
-        try (PdfDocument sourcePdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdfBytes)))) {
-            String title = titleOverride != null ? titleOverride 
+        try (CoverSource source = openCoverSource(pdfBytes, titleOverride, languageOverride)) {
+            String altText = generateAltText(source.image(), source.title());
+            return writeCoverPdf(source, altText);
+        }
+    }
+
+    /**
+     * Creates a cover PDF without blocking a thread on the alt text call. Parsing and
+     * writing run on {@code executor}; the OpenAI request runs on the HTTP client.
+     */
+    public CompletableFuture<byte[]> createCoverPdfAsync(byte[] pdfBytes, String titleOverride,
+                                                         String languageOverride, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return openCoverSource(pdfBytes, titleOverride, languageOverride);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor)
+                .thenCompose(source -> generateAltTextAsync(source.image(), source.title())
+                        .thenApplyAsync(altText -> {
+                            try {
+                                return writeCoverPdf(source, altText);
+                            } catch (IOException e) {
+                                throw new CompletionException(e);
+                            }
+                        }, executor)
+                        .whenComplete((coverBytes, error) -> source.close()));
+    }
+
+    private CoverSource openCoverSource(byte[] pdfBytes, String titleOverride, String languageOverride) throws IOException {
+        PdfDocument sourcePdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdfBytes)));
+        try {
+            String title = titleOverride != null ? titleOverride
                     : extractTitle(sourcePdf).orElse(DEFAULT_TITLE);
-            String language = languageOverride != null ? languageOverride 
+            String language = languageOverride != null ? languageOverride
                     : extractLanguage(sourcePdf).orElse(DEFAULT_LANGUAGE);
 
             PdfPage firstPage = sourcePdf.getFirstPage();
@@ -101,14 +122,19 @@ public class PdfUA {
             PdfImageXObject sourceImage = extractFirstImage(firstPage)
                     .orElseThrow(() -> new ImageExtractionException("No image found on the first page"));
 
-            String altText = generateAltText(sourceImage, title);
-
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            writeCoverPdf(outputStream, pageSize, sourceImage, title, language, altText);
-            return outputStream.toByteArray();
+            return new CoverSource(sourcePdf, title, language, pageSize, sourceImage);
+        } catch (IOException | RuntimeException e) {
+            sourcePdf.close();
+            throw e;
         }
     }
 
+    private byte[] writeCoverPdf(CoverSource source, String altText) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeCoverPdf(outputStream, source.pageSize(), source.image(), source.title(), source.language(), altText);
+        return outputStream.toByteArray();
+    }
+
     /**
      * Extracts metadata from a PDF.
      */
@@ -132,7 +158,7 @@ public class PdfUA {
 
         PdfUA pdfUA = new PdfUA();
 
-        if (pdfUA.openAiApiKey == null || pdfUA.openAiApiKey.isBlank()) {
+        if (!pdfUA.openAiClient.isConfigured()) {
             System.err.println("Warning: OPENAI_API_KEY environment variable not set. Using default alt text.");
         }
 
@@ -212,18 +238,43 @@ public class PdfUA {
     // ========== Alt text generation ==========
 
     private String generateAltText(PdfImageXObject image, String title) {
-        if (openAiApiKey == null || openAiApiKey.isBlank()) {
-            return DEFAULT_ALT_TEXT;
+        return generateAltTextAsync(image, title).join();
+    }
+
+    /**
+     * Resolves alt text from the cache or OpenAI. Never completes exceptionally: any
+     * failure, timeout or open circuit falls back to {@link #DEFAULT_ALT_TEXT}.
+     */
+    private CompletableFuture<String> generateAltTextAsync(PdfImageXObject image, String title) {
+        // Raw (still encoded) stream bytes: identical images hash the same without decoding
+        String imageDigest = Digests.sha256Hex(image.getPdfObject().getBytes(false));
+        Optional<String> cached = altTextCache.get(imageDigest, title);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
         }
 
+        if (!openAiClient.isConfigured()) {
+            return CompletableFuture.completedFuture(DEFAULT_ALT_TEXT);
+        }
+
+        String base64Image;
         try {
-            byte[] pngBytes = convertToPng(image);
-            String base64Image = Base64.getEncoder().encodeToString(pngBytes);
-            return callOpenAiApi(base64Image, "image/png", title);
+            base64Image = Base64.getEncoder().encodeToString(convertToPng(image));
         } catch (Exception e) {
-            System.err.println("Warning: Failed to generate alt text via OpenAI: " + e.getMessage());
-            return DEFAULT_ALT_TEXT;
+            System.err.println("Warning: Failed to prepare image for alt text generation: " + e.getMessage());
+            return CompletableFuture.completedFuture(DEFAULT_ALT_TEXT);
         }
+
+        return openAiClient.describeImage(base64Image, "image/png", buildPrompt(title))
+                .thenApply(altText -> {
+                    altTextCache.put(imageDigest, title, altText);
+                    return altText;
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    System.err.println("Warning: Failed to generate alt text via OpenAI: " + cause);
+                    return DEFAULT_ALT_TEXT;
+                });
     }
 
     private byte[] convertToPng(PdfImageXObject pdfImage) throws IOException {
@@ -239,56 +290,6 @@ public class PdfUA {
         return outputStream.toByteArray();
     }
 
-    private String callOpenAiApi(String base64Image, String mimeType, String title) throws IOException, InterruptedException {
-        JsonObject requestBody = buildOpenAiRequest(base64Image, mimeType, title);
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(OPENAI_API_URL))
-                .header("Content-Type", "application/json")
-                .header("Authorization", "Bearer " + openAiApiKey)
-                .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(requestBody)))
-                .build();
-
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-        if (response.statusCode() != 200) {
-            throw new IOException("OpenAI API returned status " + response.statusCode() + ": " + response.body());
-        }
-
-        return parseOpenAiResponse(response.body());
-    }
-
-    private JsonObject buildOpenAiRequest(String base64Image, String mimeType, String title) {
-        JsonObject requestBody = new JsonObject();
-        requestBody.addProperty("model", OPENAI_MODEL);
-        requestBody.addProperty("max_tokens", 300);
-
-        JsonArray messages = new JsonArray();
-        JsonObject userMessage = new JsonObject();
-        userMessage.addProperty("role", "user");
-
-        JsonArray content = new JsonArray();
-
-        JsonObject textPart = new JsonObject();
-        textPart.addProperty("type", "text");
-        textPart.addProperty("text", buildPrompt(title));
-        content.add(textPart);
-
-        JsonObject imagePart = new JsonObject();
-        imagePart.addProperty("type", "image_url");
-        JsonObject imageUrl = new JsonObject();
-        imageUrl.addProperty("url", "data:" + mimeType + ";base64," + base64Image);
-        imageUrl.addProperty("detail", "low");
-        imagePart.add("image_url", imageUrl);
-        content.add(imagePart);
-
-        userMessage.add("content", content);
-        messages.add(userMessage);
-        requestBody.add("messages", messages);
-
-        return requestBody;
-    }
-
     private String buildPrompt(String title) {
         return "Generate a concise alternative text description for this book cover image. " +
                 "The book title is: \"" + title + "\". " +
@@ -298,20 +299,6 @@ public class PdfUA {
                 "Respond with only the alt text, no additional explanation.";
     }
 
-    private String parseOpenAiResponse(String responseBody) {
-        JsonObject response = gson.fromJson(responseBody, JsonObject.class);
-        JsonArray choices = response.getAsJsonArray("choices");
-
-        if (choices != null && !choices.isEmpty()) {
-            JsonObject firstChoice = choices.get(0).getAsJsonObject();
-            JsonObject message = firstChoice.getAsJsonObject("message");
-            if (message != null) {
-                return message.get("content").getAsString().trim();
-            }
-        }
-        return DEFAULT_ALT_TEXT;
-    }
-
     // ========== PDF utilities ==========
 
     private Optional<String> extractTitle(PdfDocument pdfDocument) {
@@ -400,6 +387,17 @@ public class PdfUA {
 
     public record PdfMetadata(String title, String language, int pageCount) {}
 
+    /**
+     * An open source document together with everything resolved from it for the cover.
+     */
+    private record CoverSource(PdfDocument document, String title, String language,
+                               PageSize pageSize, PdfImageXObject image) implements AutoCloseable {
+        @Override
+        public void close() {
+            document.close();
+        }
+    }
+
     public static class ImageExtractionException extends IOException {
         public ImageExtractionException(String message) {
             super(message);